@@ -10,9 +10,9 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class Response {
+public class Response<T> {
     int status;
-    Object data;
+    T data;
     String error;
 }
 
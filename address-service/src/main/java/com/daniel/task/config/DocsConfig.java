@@ -0,0 +1,45 @@
+package com.daniel.task.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.MethodMetadata;
+
+//the springdoc beans are only needed once someone opens the api docs or the swagger ui, they are created on the first
+//docs request instead of at startup. the openapi document itself is built on that first request as well
+@Configuration
+public class DocsConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    //resolves the version of the swagger ui webjar when it's created, the ui resources can't be found without it
+    private static final String SWAGGER_UI_VERSION_RESOLVER =
+            "org.springdoc.core.configuration.SpringDocUIConfiguration";
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyDocsBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String declaringClass = declaringClass(definition);
+                if (declaringClass != null && declaringClass.startsWith(SPRINGDOC_PACKAGE)
+                        && !declaringClass.equals(SWAGGER_UI_VERSION_RESOLVER)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    //the auto-configured beans are mostly @Bean methods, they belong to the configuration class declaring them
+    private static String declaringClass(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -1,16 +1,30 @@
 package com.daniel.task.controller;
 
+import com.daniel.task.BinaryFormatConfig;
 import com.daniel.task.Response;
 import com.daniel.task.entity.Address;
+import com.daniel.task.generator.AddressGenerator;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -19,23 +33,161 @@ import java.util.UUID;
 @RequestMapping("/api/address")
 public class AddressController {
 
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf(BinaryFormatConfig.APPLICATION_SMILE_VALUE);
+
+    private static final String INVALID_COUNT = "count must be between 1 and " + AddressGenerator.MAX_BATCH_SIZE;
+
+    private static final byte[] INVALID_COUNT_RESPONSE = ("{\"status\":400,\"data\":null,\"error\":\"" + INVALID_COUNT
+            + "\"}").getBytes(StandardCharsets.US_ASCII);
+
+    private static final String INVALID_LOOKUP = "ids must contain between 1 and " + AddressGenerator.MAX_LOOKUP_SIZE
+            + " ids";
+
+    private static final byte[] INVALID_LOOKUP_RESPONSE = ("{\"status\":400,\"data\":null,\"error\":\""
+            + INVALID_LOOKUP + "\"}").getBytes(StandardCharsets.US_ASCII);
+
+    private final AddressGenerator addressGenerator;
+
     //Task: "Legyen benne egy végpont, ami visszaad egy Address objektumot, aminek két mezöje van: id, address"
-    @Operation(summary = "Get a random address", description = "Fetch a random address", tags = {"Address"})
-    @GetMapping("/")
-    public ResponseEntity<Response> getAddress() {
+    @Operation(summary = "Get a random address", description = "Fetch a random address as JSON, or as CBOR or Smile " +
+            "if the Accept header prefers them", tags = {"Address"})
+    @ApiResponse(responseCode = "200", description = "Address generated",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Response.class)))
+    @GetMapping(value = "/", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> getAddress(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         //! because we don't need a database, therefore I am generating a random UUID, and I am not using a mapper and
         //! a service, and the other not needed things for this simple example
-        log.info("Getting address");
-        UUID uuid = UUID.randomUUID();
-        Address address = Address.builder()
-                .id(uuid)
-                .address("1234 Random St")
+        log.debug("Getting address");
+        if (prefersBinary(accept)) {
+            //the binary formats are rare enough to go through the regular message converters
+            return ResponseEntity.ok(Response.<Address>builder()
+                    .status(HttpStatus.OK.value())
+                    .data(nextAddress())
+                    .build());
+        }
+        //the JSON response is written from a pre-serialized template, only the id is filled in per request
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(addressGenerator.addressResponse());
+    }
+
+    @Operation(summary = "Get random addresses", description = "Fetch the given number of random addresses at once, " +
+            "as JSON, or as CBOR or Smile if the Accept header prefers them", tags = {"Address"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Addresses generated",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "400", description = "Count is out of range",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> getAddresses(@RequestParam(defaultValue = "10") int count,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                          String accept) {
+        log.debug("Getting {} addresses", count);
+        boolean binary = prefersBinary(accept);
+        if (count < 1 || count > AddressGenerator.MAX_BATCH_SIZE) {
+            if (binary) {
+                return ResponseEntity.badRequest().body(Response.<List<Address>>builder()
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(INVALID_COUNT)
+                        .build());
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(INVALID_COUNT_RESPONSE);
+        }
+        if (binary) {
+            List<Address> addresses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                addresses.add(nextAddress());
+            }
+            return ResponseEntity.ok(Response.<List<Address>>builder()
+                    .status(HttpStatus.OK.value())
+                    .data(addresses)
+                    .build());
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(addressGenerator.addressesResponse(count));
+    }
+
+    //! there is no storage behind the addresses, every address has the same text, so any id resolves to it
+    @Operation(summary = "Look up addresses", description = "Resolve the given address ids in one request, the " +
+            "addresses are returned in the order of the ids, as JSON, or as CBOR or Smile if the Accept header " +
+            "prefers them", tags = {"Address"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Addresses resolved",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "400", description = "Too few or too many ids",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = Response.class)))
+    })
+    @GetMapping(value = "/lookup", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> lookupAddresses(@RequestParam List<UUID> ids,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                             String accept) {
+        log.debug("Looking up {} addresses", ids.size());
+        boolean binary = prefersBinary(accept);
+        if (ids.isEmpty() || ids.size() > AddressGenerator.MAX_LOOKUP_SIZE) {
+            if (binary) {
+                return ResponseEntity.badRequest().body(Response.<List<Address>>builder()
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(INVALID_LOOKUP)
+                        .build());
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(INVALID_LOOKUP_RESPONSE);
+        }
+        if (binary) {
+            List<Address> addresses = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                addresses.add(address(id));
+            }
+            return ResponseEntity.ok(Response.<List<Address>>builder()
+                    .status(HttpStatus.OK.value())
+                    .data(addresses)
+                    .build());
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(addressGenerator.addressesResponse(ids));
+    }
+
+    private Address nextAddress() {
+        return address(addressGenerator.nextId());
+    }
+
+    private static Address address(UUID id) {
+        return Address.builder()
+                .id(id)
+                .address(AddressGenerator.ADDRESS)
                 .build();
-        log.info("Address: " + address.getAddress());
-        return ResponseEntity.ok(Response.builder()
-                .status(HttpStatus.OK.value())
-                .data(address)
-                .build());
+    }
+
+    //JSON stays the default, a binary format is only used if it's preferred to JSON by the Accept header
+    private static boolean prefersBinary(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR) || mediaType.isCompatibleWith(APPLICATION_SMILE)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,100 @@
+package com.daniel.task.generator;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+//Generates the random addresses straight into their serialized JSON form. The ids come from the random generator of
+//the current thread instead of the shared SecureRandom of UUID.randomUUID(), so concurrent requests don't contend.
+//They are valid version 4 UUIDs, but not cryptographically strong, which is fine for these ids.
+@Component
+public class AddressGenerator {
+
+    public static final String ADDRESS = "1234 Random St";
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    //the ids of a lookup travel in the query string, this keeps the request line well below the header size limit
+    public static final int MAX_LOOKUP_SIZE = 100;
+
+    private static final int UUID_LENGTH = 36;
+
+    private static final byte[] ADDRESS_PREFIX = "{\"id\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ADDRESS_SUFFIX = ("\",\"address\":\"" + ADDRESS + "\"}")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] RESPONSE_PREFIX = "{\"status\":200,\"data\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] RESPONSE_SUFFIX = ",\"error\":null}".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int ADDRESS_LENGTH = ADDRESS_PREFIX.length + UUID_LENGTH + ADDRESS_SUFFIX.length;
+
+    public UUID nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        //set the version (4) and the IETF variant bits like UUID.randomUUID() does
+        long mostSigBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    //{"status":200,"data":{"id":"...","address":"1234 Random St"},"error":null}
+    public byte[] addressResponse() {
+        byte[] json = new byte[RESPONSE_PREFIX.length + ADDRESS_LENGTH + RESPONSE_SUFFIX.length];
+        int position = put(json, 0, RESPONSE_PREFIX);
+        position = putAddress(json, position, nextId());
+        put(json, position, RESPONSE_SUFFIX);
+        return json;
+    }
+
+    //{"status":200,"data":[{"id":"...","address":"1234 Random St"},...],"error":null}
+    public byte[] addressesResponse(int count) {
+        byte[] json = newAddressesResponse(count);
+        int position = RESPONSE_PREFIX.length + 1;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json[position++] = ',';
+            }
+            position = putAddress(json, position, nextId());
+        }
+        return json;
+    }
+
+    //same shape as addressesResponse, with the given ids in their order
+    public byte[] addressesResponse(List<UUID> ids) {
+        byte[] json = newAddressesResponse(ids.size());
+        int position = RESPONSE_PREFIX.length + 1;
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                json[position++] = ',';
+            }
+            position = putAddress(json, position, ids.get(i));
+        }
+        return json;
+    }
+
+    //the envelope and the brackets of the array are in place, the addresses are filled in by the caller
+    private static byte[] newAddressesResponse(int count) {
+        byte[] json = new byte[RESPONSE_PREFIX.length + 2 + count * ADDRESS_LENGTH + (count - 1)
+                + RESPONSE_SUFFIX.length];
+        int position = put(json, 0, RESPONSE_PREFIX);
+        json[position] = '[';
+        json[json.length - RESPONSE_SUFFIX.length - 1] = ']';
+        put(json, json.length - RESPONSE_SUFFIX.length, RESPONSE_SUFFIX);
+        return json;
+    }
+
+    private static int putAddress(byte[] json, int position, UUID id) {
+        position = put(json, position, ADDRESS_PREFIX);
+        position = put(json, position, id.toString().getBytes(StandardCharsets.US_ASCII));
+        return put(json, position, ADDRESS_SUFFIX);
+    }
+
+    private static int put(byte[] json, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, json, position, bytes.length);
+        return position + bytes.length;
+    }
+}